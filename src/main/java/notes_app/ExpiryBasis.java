@@ -0,0 +1,38 @@
+package notes_app;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Timestamp a note's time to live is measured from.
+ */
+public enum ExpiryBasis {
+    /**
+     * Notes expire a fixed time after they were created.
+     */
+    CREATED_ON,
+
+    /**
+     * Notes expire a fixed time after they were last updated.
+     */
+    UPDATED_ON;
+
+    /**
+     * Computes when a note expires under this basis. The note's local
+     * timestamp is placed in the given zone first, so a time to live spans
+     * the same real time across daylight saving changes.
+     *
+     * @param note the note
+     * @param zone the zone the note's timestamps were recorded in
+     * @return the expiry instant, or null if the note has no time to live or
+     *         lacks the timestamp it is measured from
+     */
+    Instant expiresOn(Note note, ZoneId zone) {
+        LocalDateTime base = this == UPDATED_ON ? note.getUpdatedOn() : note.getCreatedOn();
+        if (base == null || note.getTimeToLive() == null) {
+            return null;
+        }
+        return base.atZone(zone).toInstant().plus(note.getTimeToLive());
+    }
+}
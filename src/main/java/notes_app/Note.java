@@ -1,5 +1,6 @@
 package notes_app;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Objects;
 
@@ -12,6 +13,7 @@ public class Note {
     private String content;
     private LocalDateTime createdOn;
     private LocalDateTime updatedOn;
+    private Duration timeToLive;
 
     /**
      * Default constructor.
@@ -50,6 +52,16 @@ public class Note {
         this.updatedOn = updatedOn;
     }
 
+    /**
+     * Copy constructor.
+     * 
+     * @param other the note to copy
+     */
+    public Note(Note other) {
+        this(other.id, other.title, other.content, other.createdOn, other.updatedOn);
+        this.timeToLive = other.timeToLive;
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -93,6 +105,19 @@ public class Note {
         this.updatedOn = updatedOn;
     }
 
+    /**
+     * Gets how long the note lives before it expires.
+     * 
+     * @return the time to live, or null if the note never expires
+     */
+    public Duration getTimeToLive() {
+        return timeToLive;
+    }
+
+    public void setTimeToLive(Duration timeToLive) {
+        this.timeToLive = timeToLive;
+    }
+
     @Override
     public String toString() {
         return "Note{" +
@@ -1,38 +1,198 @@
 package notes_app;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.stream.Collectors;
 
 /**
  * Service class for managing notes with basic CRUD operations.
+ * <p>
+ * Notes are stored in a persistent tree: every write builds a new
+ * {@link NoteSnapshot} that shares all untouched notes with the previous
+ * one and publishes it atomically, while reads run against the latest
+ * published snapshot without locking. Notes are copied on the way in and
+ * out and never modified in place, so a snapshot taken with
+ * {@link #snapshot()} keeps seeing the same notes while writes continue.
+ * <p>
+ * Notes may be given a time to live, measured in real time even across
+ * daylight saving changes. Each note has at most one entry in an index
+ * ordered by expiry, so removing expired notes costs O(expired log n)
+ * rather than a pass over every note. Reads remove any notes that have
+ * expired before answering, so expired notes are never returned; a
+ * background thread that starts with the first note that can expire, and
+ * stops on {@link #close()}, also removes them when nobody is reading.
  */
-public class NoteService {
-    private final Map<Long, Note> notes = new HashMap<>();
+public class NoteService implements AutoCloseable {
+    private static final Duration DEFAULT_EVICTION_INTERVAL = Duration.ofSeconds(1);
+
     private final AtomicLong idGenerator = new AtomicLong(1);
+    private final ExpiryBasis expiryBasis;
+    private final Clock clock;
+    private final Duration evictionInterval;
+    private final TreeSet<ExpiryEntry> expiryQueue = new TreeSet<>(
+            Comparator.comparing(ExpiryEntry::getExpiresOn).thenComparing(ExpiryEntry::getId));
+    private final Map<Long, ExpiryEntry> expiryEntries = new HashMap<>();
+    private volatile NoteSnapshot current;
+    private ScheduledExecutorService evictionExecutor;
+    private boolean closed;
+
+    /**
+     * Creates a service whose notes expire relative to their creation time.
+     */
+    public NoteService() {
+        this(ExpiryBasis.CREATED_ON);
+    }
+
+    /**
+     * Creates a service whose notes expire relative to the given timestamp,
+     * evicting expired notes every second.
+     * 
+     * @param expiryBasis the timestamp time to live is measured from
+     */
+    public NoteService(ExpiryBasis expiryBasis) {
+        this(expiryBasis, Clock.systemDefaultZone(), DEFAULT_EVICTION_INTERVAL);
+    }
+
+    /**
+     * Constructor with all settings.
+     * 
+     * @param expiryBasis the timestamp time to live is measured from
+     * @param clock the clock used for note timestamps and expiry
+     * @param evictionInterval the time between background eviction runs
+     */
+    public NoteService(ExpiryBasis expiryBasis, Clock clock, Duration evictionInterval) {
+        if (expiryBasis == null) {
+            throw new IllegalArgumentException("Expiry basis cannot be null");
+        }
+        if (clock == null) {
+            throw new IllegalArgumentException("Clock cannot be null");
+        }
+        if (evictionInterval == null || evictionInterval.isNegative() || evictionInterval.isZero()) {
+            throw new IllegalArgumentException("Eviction interval must be positive");
+        }
+        this.expiryBasis = expiryBasis;
+        this.clock = clock;
+        this.evictionInterval = evictionInterval;
+        this.current = new NoteSnapshot(0, NoteTree.EMPTY, null);
+    }
+
+    /**
+     * Creates a scratch service that shares the given notes without copying
+     * them. Seeded notes are not scheduled for eviction by this service, and
+     * ids generated by it continue after the highest seeded id.
+     * 
+     * @param seed the notes to start with
+     * @return the scratch service
+     */
+    static NoteService seededWith(NoteTree seed) {
+        NoteService service = new NoteService();
+        service.current = new NoteSnapshot(0, seed, null);
+        Long lastId = seed.lastId();
+        if (lastId != null) {
+            service.idGenerator.set(lastId + 1);
+        }
+        return service;
+    }
 
     /**
      * Adds a new note to the system.
      * 
      * @param title the note title
      * @param content the note content
-     * @return the created note with generated id
+     * @return a copy of the created note with generated id
      */
     public Note addNote(String title, String content) {
+        return addNote(title, content, null);
+    }
+
+    /**
+     * Adds a new note to the system that expires after the given time.
+     * 
+     * @param title the note title
+     * @param content the note content
+     * @param timeToLive how long the note lives (null for no expiry)
+     * @return a copy of the created note with generated id
+     */
+    public synchronized Note addNote(String title, String content, Duration timeToLive) {
         if (title == null || title.trim().isEmpty()) {
             throw new IllegalArgumentException("Title cannot be null or empty");
         }
         if (content == null) {
             throw new IllegalArgumentException("Content cannot be null");
         }
+        if (timeToLive != null && (timeToLive.isNegative() || timeToLive.isZero())) {
+            throw new IllegalArgumentException("Time to live must be positive");
+        }
 
-        Note note = new Note(title.trim(), content);
-        note.setId(idGenerator.getAndIncrement());
-        notes.put(note.getId(), note);
-        return note;
+        LocalDateTime now = LocalDateTime.now(clock);
+        Note note = new Note(idGenerator.getAndIncrement(), title.trim(), content, now, now);
+        note.setTimeToLive(timeToLive);
+
+        scheduleExpiry(note);
+        publish(current.notes().put(note));
+        return new Note(note);
+    }
+
+    /**
+     * Loads previously persisted notes, keeping their ids and timestamps.
+     * The service stores copies of the given notes and replaces any stored
+     * note with the same id. All notes are validated before any is stored
+     * and are published in a single snapshot, and ids generated afterwards
+     * continue after the highest loaded id.
+     * 
+     * @param loaded the notes to load
+     * @throws IllegalArgumentException if a note is null, lacks an id, title,
+     *         content or timestamp, has a non-positive time to live, or shares
+     *         its id with another loaded note
+     */
+    public synchronized void loadNotes(Collection<Note> loaded) {
+        if (loaded == null) {
+            throw new IllegalArgumentException("Notes cannot be null");
+        }
+        Set<Long> ids = new HashSet<>();
+        for (Note note : loaded) {
+            if (note == null || note.getId() == null) {
+                throw new IllegalArgumentException("Loaded notes must have an id");
+            }
+            if (note.getTitle() == null || note.getContent() == null) {
+                throw new IllegalArgumentException("Loaded note " + note.getId() + " must have a title and content");
+            }
+            if (note.getCreatedOn() == null || note.getUpdatedOn() == null) {
+                throw new IllegalArgumentException("Loaded note " + note.getId() + " must have timestamps");
+            }
+            Duration timeToLive = note.getTimeToLive();
+            if (timeToLive != null && (timeToLive.isNegative() || timeToLive.isZero())) {
+                throw new IllegalArgumentException("Loaded note " + note.getId() + " must have a positive time to live");
+            }
+            if (!ids.add(note.getId())) {
+                throw new IllegalArgumentException("Duplicate loaded note id " + note.getId());
+            }
+        }
+
+        List<Note> copies = new ArrayList<>(loaded.size());
+        for (Note note : loaded) {
+            copies.add(new Note(note));
+        }
+        copies.sort(Comparator.comparing(Note::getId));
+        if (!copies.isEmpty()) {
+            idGenerator.accumulateAndGet(copies.get(copies.size() - 1).getId() + 1, Math::max);
+        }
+        copies.forEach(this::scheduleExpiry);
+        publish(current.notes().putAll(copies));
     }
 
     /**
@@ -41,23 +201,31 @@ public class NoteService {
      * @param id the note id
      * @param title the new title (can be null to keep existing)
      * @param content the new content (can be null to keep existing)
-     * @return the updated note
+     * @return a copy of the updated note
      * @throws IllegalArgumentException if note with given id doesn't exist
      */
-    public Note updateNote(Long id, String title, String content) {
-        Note note = notes.get(id);
-        if (note == null) {
+    public synchronized Note updateNote(Long id, String title, String content) {
+        Note existing = current.notes().get(id);
+        if (existing == null || isExpired(existing, clock.instant())) {
             throw new IllegalArgumentException("Note with id " + id + " not found");
         }
 
+        Note note = new Note(existing);
+        boolean changed = false;
+
         if (title != null && !title.trim().isEmpty()) {
             note.setTitle(title.trim());
+            changed = true;
         }
         if (content != null) {
             note.setContent(content);
+            changed = true;
         }
+        note.setUpdatedOn(changed ? LocalDateTime.now(clock) : existing.getUpdatedOn());
 
-        return note;
+        scheduleExpiry(note);
+        publish(current.notes().put(note));
+        return new Note(note);
     }
 
     /**
@@ -66,45 +234,67 @@ public class NoteService {
      * @param id the note id
      * @return true if note was deleted, false if note didn't exist
      */
-    public boolean deleteNote(Long id) {
-        Note removed = notes.remove(id);
-        return removed != null;
+    public synchronized boolean deleteNote(Long id) {
+        Note existing = current.notes().get(id);
+        if (existing == null) {
+            return false;
+        }
+
+        unscheduleExpiry(id);
+        publish(current.notes().remove(id));
+        return !isExpired(existing, clock.instant());
     }
 
     /**
      * Finds a note by id.
      * 
      * @param id the note id
-     * @return the note if found, null otherwise
+     * @return a copy of the note if found, null otherwise
      */
     public Note findNoteById(Long id) {
-        return notes.get(id);
+        return view().findNoteById(id);
     }
 
     /**
      * Finds notes by title (case-insensitive partial match).
      * 
      * @param title the title to search for
-     * @return list of matching notes
+     * @return list of copies of the matching notes
      */
     public List<Note> findNotesByTitle(String title) {
-        if (title == null || title.trim().isEmpty()) {
-            return new ArrayList<>();
-        }
-
-        String searchTitle = title.toLowerCase().trim();
-        return notes.values().stream()
-                .filter(note -> note.getTitle().toLowerCase().contains(searchTitle))
-                .collect(Collectors.toList());
+        return view().findNotesByTitle(title);
     }
 
     /**
      * Gets all notes.
      * 
-     * @return list of all notes
+     * @return list of copies of all notes
      */
     public List<Note> getAllNotes() {
-        return new ArrayList<>(notes.values());
+        return view().getAllNotes();
+    }
+
+    /**
+     * Gets a page of notes in id order.
+     * 
+     * @param offset the index of the first note to return
+     * @param limit the maximum number of notes to return
+     * @return list of copies of at most {@code limit} notes
+     * @throws IllegalArgumentException if offset or limit is negative
+     */
+    public List<Note> getNotes(int offset, int limit) {
+        return view().getNotes(offset, limit);
+    }
+
+    /**
+     * Takes a point-in-time snapshot of all notes. Queries against the
+     * returned snapshot are consistent with each other and unaffected by
+     * later writes and by notes expiring after it was taken.
+     * 
+     * @return the current snapshot
+     */
+    public NoteSnapshot snapshot() {
+        return view();
     }
 
     /**
@@ -113,14 +303,162 @@ public class NoteService {
      * @return the count of notes
      */
     public int getNoteCount() {
-        return notes.size();
+        return view().getNoteCount();
     }
 
     /**
      * Clears all notes (useful for testing).
      */
-    public void clearAllNotes() {
-        notes.clear();
+    public synchronized void clearAllNotes() {
+        expiryQueue.clear();
+        expiryEntries.clear();
+        publish(NoteTree.EMPTY);
         idGenerator.set(1);
     }
+
+    /**
+     * Removes all notes whose time to live has elapsed from storage.
+     * 
+     * @return the number of notes removed
+     */
+    public synchronized int evictExpiredNotes() {
+        return evict(clock.instant());
+    }
+
+    /**
+     * Gets the notes currently in storage, including expired notes that have
+     * not been removed yet.
+     * 
+     * @return the stored notes
+     */
+    NoteTree storedNotes() {
+        return current.notes();
+    }
+
+    /**
+     * Gets the number of notes waiting to expire.
+     * 
+     * @return the size of the expiry index
+     */
+    synchronized int pendingExpiryCount() {
+        return expiryQueue.size();
+    }
+
+    /**
+     * Stops background eviction. Reads still remove expired notes before
+     * answering.
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        if (evictionExecutor != null) {
+            evictionExecutor.shutdownNow();
+            evictionExecutor = null;
+        }
+    }
+
+    /**
+     * Returns a snapshot taken as of now. When a stored note may have
+     * expired, expired notes are removed first, so the snapshot never has to
+     * filter them.
+     */
+    private NoteSnapshot view() {
+        Instant now = clock.instant();
+        NoteSnapshot published = current;
+        if (!published.hasExpiredBy(now)) {
+            return published.asOf(now);
+        }
+
+        synchronized (this) {
+            now = clock.instant();
+            evict(now);
+            return current.asOf(now);
+        }
+    }
+
+    private int evict(Instant now) {
+        NoteTree notes = current.notes();
+        int evicted = 0;
+
+        while (!expiryQueue.isEmpty() && !expiryQueue.first().getExpiresOn().isAfter(now)) {
+            ExpiryEntry entry = expiryQueue.pollFirst();
+            expiryEntries.remove(entry.getId());
+            notes = notes.remove(entry.getId());
+            evicted++;
+        }
+
+        if (evicted > 0) {
+            publish(notes);
+        }
+        return evicted;
+    }
+
+    private void publish(NoteTree notes) {
+        Instant earliestExpiry = expiryQueue.isEmpty() ? null : expiryQueue.first().getExpiresOn();
+        current = new NoteSnapshot(current.getVersion() + 1, notes, earliestExpiry);
+    }
+
+    private boolean isExpired(Note note, Instant now) {
+        Instant expiresOn = expiryBasis.expiresOn(note, clock.getZone());
+        return expiresOn != null && !expiresOn.isAfter(now);
+    }
+
+    private void unscheduleExpiry(Long id) {
+        ExpiryEntry entry = expiryEntries.remove(id);
+        if (entry != null) {
+            expiryQueue.remove(entry);
+        }
+    }
+
+    private void scheduleExpiry(Note note) {
+        unscheduleExpiry(note.getId());
+        Instant expiresOn = expiryBasis.expiresOn(note, clock.getZone());
+        if (expiresOn == null) {
+            return;
+        }
+
+        ExpiryEntry entry = new ExpiryEntry(expiresOn, note.getId());
+        expiryEntries.put(note.getId(), entry);
+        expiryQueue.add(entry);
+        if (evictionExecutor == null && !closed) {
+            evictionExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "note-expiry");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long nanos = evictionInterval.toNanos();
+            evictionExecutor.scheduleAtFixedRate(this::evictInBackground, nanos, nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void evictInBackground() {
+        // An exception escaping a periodic task would cancel every later run
+        try {
+            evictExpiredNotes();
+        } catch (RuntimeException e) {
+            Thread thread = Thread.currentThread();
+            thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+        }
+    }
+
+    /**
+     * Current expiry of a note, kept in expiry order.
+     */
+    private static final class ExpiryEntry {
+        private final Instant expiresOn;
+        private final Long id;
+
+        ExpiryEntry(Instant expiresOn, Long id) {
+            this.expiresOn = expiresOn;
+            this.id = id;
+        }
+
+        Instant getExpiresOn() {
+            return expiresOn;
+        }
+
+        Long getId() {
+            return id;
+        }
+    }
 }
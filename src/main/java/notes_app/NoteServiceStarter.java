@@ -0,0 +1,184 @@
+package notes_app;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Brings a {@link NoteService} up to a ready state.
+ * <p>
+ * Persisted notes are read from all sources in parallel and loaded in one
+ * step; duplicate ids, within or across sources, are rejected. An optional
+ * warm-up then exercises {@code addNote}, {@code findNoteById},
+ * {@code findNotesByTitle} and {@code deleteNote} so the JIT has compiled
+ * those paths before the first real request. It runs on a scratch service
+ * that shares the started service's notes without copying them, so lookups
+ * and searches see the real data size without changing the started service.
+ * <p>
+ * Warm-up runs in rounds and stops once several consecutive rounds fail
+ * to beat the fastest round so far by a clear margin. Reported times to
+ * first request and steady state are measured from JVM start, so they
+ * include JVM boot and class loading.
+ */
+public class NoteServiceStarter {
+    private static final int WARM_UP_ROUND_SIZE = 200;
+    private static final int WARM_UP_SEARCH_EVERY = 50;
+    private static final double STEADY_STATE_TOLERANCE = 0.10;
+    private static final int STEADY_STATE_ROUNDS = 3;
+
+    private final int maxWarmUpRounds;
+    private volatile boolean ready;
+
+    /**
+     * Creates a starter that skips warm-up.
+     */
+    public NoteServiceStarter() {
+        this(0);
+    }
+
+    /**
+     * Creates a starter that warms up for at most the given number of rounds.
+     *
+     * @param maxWarmUpRounds the maximum number of warm-up rounds (0 to skip warm-up)
+     */
+    public NoteServiceStarter(int maxWarmUpRounds) {
+        if (maxWarmUpRounds < 0) {
+            throw new IllegalArgumentException("Warm-up rounds cannot be negative");
+        }
+        this.maxWarmUpRounds = maxWarmUpRounds;
+    }
+
+    /**
+     * Loads persisted notes into the service, warms it up and marks it ready.
+     *
+     * @param service the service to start
+     * @param sources suppliers of persisted notes, read in parallel
+     * @return the startup timings
+     * @throws IllegalStateException if a source fails to load
+     * @throws IllegalArgumentException if the loaded notes are invalid or share ids
+     */
+    public StartupReport start(NoteService service, List<Supplier<Collection<Note>>> sources) {
+        if (service == null) {
+            throw new IllegalArgumentException("Service cannot be null");
+        }
+        if (sources == null) {
+            throw new IllegalArgumentException("Sources cannot be null");
+        }
+
+        long loadStart = System.nanoTime();
+        List<Note> loaded = load(sources);
+        service.loadNotes(loaded);
+        Duration loadTime = Duration.ofNanos(System.nanoTime() - loadStart);
+
+        long warmUpStart = System.nanoTime();
+        Duration timeToSteadyState = null;
+        int rounds = 0;
+        if (maxWarmUpRounds > 0) {
+            try (NoteService scratch = NoteService.seededWith(service.snapshot().notes())) {
+                SteadyStateDetector detector = new SteadyStateDetector();
+                while (rounds < maxWarmUpRounds) {
+                    long roundStart = System.nanoTime();
+                    warmUpRound(scratch);
+                    rounds++;
+
+                    if (detector.record(System.nanoTime() - roundStart)) {
+                        timeToSteadyState = uptime();
+                        break;
+                    }
+                }
+            }
+        }
+        Duration warmUpTime = Duration.ofNanos(System.nanoTime() - warmUpStart);
+
+        ready = true;
+        return new StartupReport(loaded.size(), loadTime, rounds, warmUpTime, uptime(), timeToSteadyState);
+    }
+
+    /**
+     * Reports whether {@link #start} has completed.
+     *
+     * @return true once the service is loaded and warmed up
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    private static Duration uptime() {
+        return Duration.ofMillis(ManagementFactory.getRuntimeMXBean().getUptime());
+    }
+
+    private List<Note> load(List<Supplier<Collection<Note>>> sources) {
+        if (sources.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        int threads = Math.min(sources.size(), Runtime.getRuntime().availableProcessors());
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<CompletableFuture<Collection<Note>>> futures = sources.stream()
+                    .map(source -> CompletableFuture.supplyAsync(source, executor))
+                    .collect(Collectors.toList());
+
+            List<Note> loaded = new ArrayList<>();
+            for (CompletableFuture<Collection<Note>> future : futures) {
+                Collection<Note> notes = future.join();
+                if (notes == null) {
+                    throw new IllegalStateException("Failed to load persisted notes: a source returned null");
+                }
+                loaded.addAll(notes);
+            }
+            return loaded;
+        } catch (CompletionException e) {
+            throw new IllegalStateException("Failed to load persisted notes", e.getCause());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private void warmUpRound(NoteService scratch) {
+        List<Long> added = new ArrayList<>(WARM_UP_ROUND_SIZE);
+        for (int i = 0; i < WARM_UP_ROUND_SIZE; i++) {
+            Note note = scratch.addNote("Warm-up " + i, "Warm-up content");
+            added.add(note.getId());
+            scratch.findNoteById(note.getId());
+            if (i % WARM_UP_SEARCH_EVERY == 0) {
+                scratch.findNotesByTitle("warm-up " + i);
+            }
+        }
+        // Keep the scratch service at the loaded size from round to round
+        added.forEach(scratch::deleteNote);
+    }
+
+    /**
+     * Decides when warm-up round times have settled: once several consecutive
+     * rounds fail to beat the fastest round so far by a clear margin.
+     */
+    static final class SteadyStateDetector {
+        private long fastestRound = Long.MAX_VALUE;
+        private int stableRounds;
+
+        /**
+         * Records the time of one warm-up round.
+         *
+         * @param roundTime the round time in nanoseconds
+         * @return true once round times have settled
+         */
+        boolean record(long roundTime) {
+            if (roundTime < fastestRound * (1 - STEADY_STATE_TOLERANCE)) {
+                stableRounds = 0;
+            } else {
+                stableRounds++;
+            }
+            fastestRound = Math.min(fastestRound, roundTime);
+            return stableRounds >= STEADY_STATE_ROUNDS;
+        }
+    }
+}
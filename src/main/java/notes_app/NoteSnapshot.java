@@ -0,0 +1,173 @@
+package notes_app;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Immutable point-in-time view of the notes held by a {@link NoteService}.
+ * <p>
+ * Snapshots are published by the service on every write and never change
+ * afterwards, so a reader can run several queries against the same handle
+ * without locking and without being affected by concurrent writes.
+ * Consecutive snapshots share all notes a write did not touch, and a
+ * snapshot is reclaimed by the garbage collector once no reader holds it.
+ * <p>
+ * Each snapshot handed out by the service is taken as of one instant
+ * ({@link #getAsOf()}). Notes that had expired by then are not part of it,
+ * and notes that expire later stay visible in it, so its results do not
+ * change as time passes. Counts and pages are answered from the tree in
+ * O(log n).
+ * <p>
+ * Queries return copies of the stored notes in new, modifiable lists, so
+ * changing a returned note or list never changes the snapshot.
+ */
+public final class NoteSnapshot {
+    private final long version;
+    private final NoteTree notes;
+    private final Instant earliestExpiry;
+    private final Instant asOf;
+
+    /**
+     * Creates a published snapshot over the given notes.
+     *
+     * @param version the version of the service state this snapshot represents
+     * @param notes the notes ordered by id
+     * @param earliestExpiry the earliest expiry of a stored note (null if none can expire)
+     */
+    NoteSnapshot(long version, NoteTree notes, Instant earliestExpiry) {
+        this(version, notes, earliestExpiry, null);
+    }
+
+    private NoteSnapshot(long version, NoteTree notes, Instant earliestExpiry, Instant asOf) {
+        this.version = version;
+        this.notes = notes;
+        this.earliestExpiry = earliestExpiry;
+        this.asOf = asOf;
+    }
+
+    /**
+     * Gets the version of this snapshot. Every write to the service produces
+     * a snapshot with a higher version.
+     *
+     * @return the snapshot version
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Gets the instant this snapshot was taken as of. Note expiry is judged
+     * against this instant.
+     *
+     * @return the instant the snapshot was taken
+     */
+    public Instant getAsOf() {
+        return asOf;
+    }
+
+    /**
+     * Finds a note by id.
+     *
+     * @param id the note id
+     * @return a copy of the note if found, null otherwise
+     */
+    public Note findNoteById(Long id) {
+        Note note = notes.get(id);
+        return note == null ? null : new Note(note);
+    }
+
+    /**
+     * Finds notes by title (case-insensitive partial match).
+     *
+     * @param title the title to search for
+     * @return list of copies of the matching notes, in id order
+     */
+    public List<Note> findNotesByTitle(String title) {
+        List<Note> matches = new ArrayList<>();
+        if (title == null || title.trim().isEmpty()) {
+            return matches;
+        }
+
+        String searchTitle = title.toLowerCase().trim();
+        notes.forEach(note -> {
+            if (note.getTitle().toLowerCase().contains(searchTitle)) {
+                matches.add(new Note(note));
+            }
+        });
+        return matches;
+    }
+
+    /**
+     * Gets all notes in id order.
+     *
+     * @return list of copies of all notes
+     */
+    public List<Note> getAllNotes() {
+        List<Note> all = new ArrayList<>(notes.size());
+        notes.forEach(note -> all.add(new Note(note)));
+        return all;
+    }
+
+    /**
+     * Gets a page of notes in id order.
+     *
+     * @param offset the index of the first note to return
+     * @param limit the maximum number of notes to return
+     * @return list of copies of at most {@code limit} notes
+     * @throws IllegalArgumentException if offset or limit is negative
+     */
+    public List<Note> getNotes(int offset, int limit) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset cannot be negative");
+        }
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit cannot be negative");
+        }
+
+        int from = Math.min(offset, notes.size());
+        int to = (int) Math.min((long) from + limit, notes.size());
+        List<Note> page = new ArrayList<>(to - from);
+        notes.forEachInRange(from, to, note -> page.add(new Note(note)));
+        return page;
+    }
+
+    /**
+     * Gets the number of notes in this snapshot.
+     *
+     * @return the count of notes
+     */
+    public int getNoteCount() {
+        return notes.size();
+    }
+
+    /**
+     * Gets the stored notes, used by the service to build the next version.
+     *
+     * @return the notes of this snapshot
+     */
+    NoteTree notes() {
+        return notes;
+    }
+
+    /**
+     * Reports whether any stored note has expired by the given instant.
+     *
+     * @param instant the instant to check
+     * @return true if the earliest stored expiry is at or before the instant
+     */
+    boolean hasExpiredBy(Instant instant) {
+        return earliestExpiry != null && !instant.isBefore(earliestExpiry);
+    }
+
+    /**
+     * Returns a handle on the same notes taken as of the given instant. The
+     * caller must make sure no stored note has expired by then.
+     *
+     * @param instant the instant the snapshot is taken as of
+     * @return the snapshot handle
+     */
+    NoteSnapshot asOf(Instant instant) {
+        return new NoteSnapshot(version, notes, earliestExpiry, instant);
+    }
+}
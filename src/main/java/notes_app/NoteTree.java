@@ -0,0 +1,299 @@
+package notes_app;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Persistent balanced tree of notes ordered by id.
+ * <p>
+ * Trees are never modified: {@link #put} and {@link #remove} return a new
+ * tree that shares every untouched node with the old one, so each write
+ * costs O(log n) and older versions stay valid for as long as they are
+ * referenced. Every node also records the size of its subtree, which lets
+ * pages be located by position in O(log n).
+ */
+final class NoteTree {
+    static final NoteTree EMPTY = new NoteTree(null);
+
+    private final Node root;
+
+    private NoteTree(Node root) {
+        this.root = root;
+    }
+
+    /**
+     * Gets the number of notes in the tree.
+     *
+     * @return the count of notes
+     */
+    int size() {
+        return size(root);
+    }
+
+    /**
+     * Finds a note by id.
+     *
+     * @param id the note id
+     * @return the note if found, null otherwise
+     */
+    Note get(Long id) {
+        if (id == null) {
+            return null;
+        }
+
+        Node node = root;
+        while (node != null) {
+            int cmp = Long.compare(id, node.id);
+            if (cmp == 0) {
+                return node.note;
+            }
+            node = cmp < 0 ? node.left : node.right;
+        }
+        return null;
+    }
+
+    /**
+     * Returns a tree that contains the given note, replacing any note with
+     * the same id.
+     *
+     * @param note the note to store, which must have an id
+     * @return the new tree
+     */
+    NoteTree put(Note note) {
+        return new NoteTree(put(root, note));
+    }
+
+    /**
+     * Returns a tree that contains the given notes, replacing any notes with
+     * the same ids. Large batches are merged with the existing notes and
+     * built into a balanced tree in O(n) instead of being inserted one by
+     * one.
+     *
+     * @param sorted the notes to store, ordered by strictly increasing id
+     * @return the new tree
+     */
+    NoteTree putAll(List<Note> sorted) {
+        if (sorted.isEmpty()) {
+            return this;
+        }
+        // A few notes into a large tree are cheaper to insert one by one
+        if (sorted.size() < size() / 8) {
+            NoteTree tree = this;
+            for (Note note : sorted) {
+                tree = tree.put(note);
+            }
+            return tree;
+        }
+
+        List<Note> existing = new ArrayList<>(size());
+        forEach(existing::add);
+        List<Note> merged = new ArrayList<>(existing.size() + sorted.size());
+        int i = 0;
+        int j = 0;
+        while (i < existing.size() || j < sorted.size()) {
+            if (j == sorted.size()) {
+                merged.add(existing.get(i++));
+            } else if (i == existing.size()) {
+                merged.add(sorted.get(j++));
+            } else {
+                int cmp = Long.compare(existing.get(i).getId(), sorted.get(j).getId());
+                if (cmp < 0) {
+                    merged.add(existing.get(i++));
+                } else {
+                    // Equal ids are replaced by the new note
+                    if (cmp == 0) {
+                        i++;
+                    }
+                    merged.add(sorted.get(j++));
+                }
+            }
+        }
+        return new NoteTree(build(merged, 0, merged.size()));
+    }
+
+    /**
+     * Gets the highest id in the tree.
+     *
+     * @return the highest id, or null if the tree is empty
+     */
+    Long lastId() {
+        if (root == null) {
+            return null;
+        }
+        Node node = root;
+        while (node.right != null) {
+            node = node.right;
+        }
+        return node.id;
+    }
+
+    /**
+     * Returns a tree without the note with the given id.
+     *
+     * @param id the note id
+     * @return the new tree, or this tree if no note has the id
+     */
+    NoteTree remove(Long id) {
+        if (get(id) == null) {
+            return this;
+        }
+        return new NoteTree(remove(root, id));
+    }
+
+    /**
+     * Visits every note in id order.
+     *
+     * @param action the action to run for each note
+     */
+    void forEach(Consumer<Note> action) {
+        forEach(root, action);
+    }
+
+    /**
+     * Visits the notes at positions {@code from} (inclusive) to {@code to}
+     * (exclusive) in id order.
+     *
+     * @param from the position of the first note to visit
+     * @param to the position after the last note to visit
+     * @param action the action to run for each note
+     */
+    void forEachInRange(int from, int to, Consumer<Note> action) {
+        forEachInRange(root, from, to, action);
+    }
+
+    private static void forEach(Node node, Consumer<Note> action) {
+        if (node == null) {
+            return;
+        }
+        forEach(node.left, action);
+        action.accept(node.note);
+        forEach(node.right, action);
+    }
+
+    private static void forEachInRange(Node node, int from, int to, Consumer<Note> action) {
+        if (node == null || from >= to) {
+            return;
+        }
+
+        int leftSize = size(node.left);
+        if (from < leftSize) {
+            forEachInRange(node.left, from, Math.min(to, leftSize), action);
+        }
+        if (from <= leftSize && leftSize < to) {
+            action.accept(node.note);
+        }
+        if (to > leftSize + 1) {
+            forEachInRange(node.right, Math.max(from - leftSize - 1, 0), to - leftSize - 1, action);
+        }
+    }
+
+    private static Node build(List<Note> sorted, int from, int to) {
+        if (from >= to) {
+            return null;
+        }
+        int mid = (from + to) >>> 1;
+        return new Node(sorted.get(mid), build(sorted, from, mid), build(sorted, mid + 1, to));
+    }
+
+    private static Node put(Node node, Note note) {
+        if (node == null) {
+            return new Node(note, null, null);
+        }
+
+        int cmp = Long.compare(note.getId(), node.id);
+        if (cmp == 0) {
+            return new Node(note, node.left, node.right);
+        }
+        if (cmp < 0) {
+            return balance(node.note, put(node.left, note), node.right);
+        }
+        return balance(node.note, node.left, put(node.right, note));
+    }
+
+    private static Node remove(Node node, long id) {
+        if (node == null) {
+            return null;
+        }
+
+        int cmp = Long.compare(id, node.id);
+        if (cmp < 0) {
+            return balance(node.note, remove(node.left, id), node.right);
+        }
+        if (cmp > 0) {
+            return balance(node.note, node.left, remove(node.right, id));
+        }
+        if (node.left == null) {
+            return node.right;
+        }
+        if (node.right == null) {
+            return node.left;
+        }
+
+        Node successor = node.right;
+        while (successor.left != null) {
+            successor = successor.left;
+        }
+        return balance(successor.note, node.left, removeFirst(node.right));
+    }
+
+    private static Node removeFirst(Node node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        return balance(node.note, removeFirst(node.left), node.right);
+    }
+
+    /**
+     * Builds a node from the given parts, rotating once or twice when the
+     * subtree heights differ by more than one.
+     */
+    private static Node balance(Note note, Node left, Node right) {
+        int leftHeight = height(left);
+        int rightHeight = height(right);
+
+        if (leftHeight > rightHeight + 1) {
+            if (height(left.left) >= height(left.right)) {
+                return new Node(left.note, left.left, new Node(note, left.right, right));
+            }
+            return new Node(left.right.note,
+                    new Node(left.note, left.left, left.right.left),
+                    new Node(note, left.right.right, right));
+        }
+        if (rightHeight > leftHeight + 1) {
+            if (height(right.right) >= height(right.left)) {
+                return new Node(right.note, new Node(note, left, right.left), right.right);
+            }
+            return new Node(right.left.note,
+                    new Node(note, left, right.left.left),
+                    new Node(right.note, right.left.right, right.right));
+        }
+        return new Node(note, left, right);
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static final class Node {
+        private final long id;
+        private final Note note;
+        private final Node left;
+        private final Node right;
+        private final int height;
+        private final int size;
+
+        Node(Note note, Node left, Node right) {
+            this.id = note.getId();
+            this.note = note;
+            this.left = left;
+            this.right = right;
+            this.height = Math.max(height(left), height(right)) + 1;
+            this.size = size(left) + size(right) + 1;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package notes_app;
+
+import java.time.Duration;
+
+/**
+ * Timings recorded while a {@link NoteServiceStarter} brought a service up.
+ */
+public class StartupReport {
+    private final int loadedNotes;
+    private final Duration loadTime;
+    private final int warmUpRounds;
+    private final Duration warmUpTime;
+    private final Duration timeToFirstRequest;
+    private final Duration timeToSteadyState;
+
+    /**
+     * Constructor with all fields.
+     *
+     * @param loadedNotes the number of persisted notes loaded
+     * @param loadTime the time spent loading persisted notes
+     * @param warmUpRounds the number of warm-up rounds run
+     * @param warmUpTime the time spent warming up
+     * @param timeToFirstRequest the time from JVM start until the service was ready
+     * @param timeToSteadyState the time from JVM start until warm-up round
+     *        times settled, or null if that was not observed
+     */
+    public StartupReport(int loadedNotes, Duration loadTime, int warmUpRounds, Duration warmUpTime,
+                         Duration timeToFirstRequest, Duration timeToSteadyState) {
+        this.loadedNotes = loadedNotes;
+        this.loadTime = loadTime;
+        this.warmUpRounds = warmUpRounds;
+        this.warmUpTime = warmUpTime;
+        this.timeToFirstRequest = timeToFirstRequest;
+        this.timeToSteadyState = timeToSteadyState;
+    }
+
+    public int getLoadedNotes() {
+        return loadedNotes;
+    }
+
+    public Duration getLoadTime() {
+        return loadTime;
+    }
+
+    public int getWarmUpRounds() {
+        return warmUpRounds;
+    }
+
+    public Duration getWarmUpTime() {
+        return warmUpTime;
+    }
+
+    /**
+     * Gets the time from JVM start until the service was ready, including
+     * JVM boot and class loading.
+     *
+     * @return the time to first request
+     */
+    public Duration getTimeToFirstRequest() {
+        return timeToFirstRequest;
+    }
+
+    /**
+     * Gets the time from JVM start until warm-up round times settled.
+     *
+     * @return the time to steady state, or null if warm-up was disabled or
+     *         ended before round times settled
+     */
+    public Duration getTimeToSteadyState() {
+        return timeToSteadyState;
+    }
+
+    @Override
+    public String toString() {
+        return "StartupReport{" +
+                "loadedNotes=" + loadedNotes +
+                ", loadTime=" + loadTime +
+                ", warmUpRounds=" + warmUpRounds +
+                ", warmUpTime=" + warmUpTime +
+                ", timeToFirstRequest=" + timeToFirstRequest +
+                ", timeToSteadyState=" + timeToSteadyState +
+                '}';
+    }
+}
@@ -0,0 +1,44 @@
+package notes_app;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Quiet training run used by the {@code appcds} build profile to record
+ * which classes a typical start loads. It goes through startup, warm-up
+ * and the common service operations without printing anything.
+ */
+public class StartupTraining {
+
+    public static void main(String[] args) {
+        List<Supplier<Collection<Note>>> sources = Arrays.asList(
+                () -> persistedNotes(1, 500),
+                () -> persistedNotes(501, 1000));
+
+        try (NoteService noteService = new NoteService()) {
+            new NoteServiceStarter(20).start(noteService, sources);
+
+            Note note = noteService.addNote("Training", "Training content", Duration.ofMinutes(1));
+            noteService.updateNote(note.getId(), "Updated training", null);
+            noteService.findNotesByTitle("training");
+            noteService.snapshot().getNotes(0, 20);
+            noteService.getAllNotes();
+            noteService.deleteNote(note.getId());
+            noteService.evictExpiredNotes();
+        }
+    }
+
+    private static Collection<Note> persistedNotes(long firstId, long lastId) {
+        LocalDateTime time = LocalDateTime.now();
+        List<Note> notes = new ArrayList<>();
+        for (long id = firstId; id <= lastId; id++) {
+            notes.add(new Note(id, "Persisted " + id, "Persisted content", time, time));
+        }
+        return notes;
+    }
+}
@@ -0,0 +1,55 @@
+package notes_app;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+/**
+ * Clock for tests that only moves when told to.
+ */
+class MutableClock extends Clock {
+    private final ZoneId zone;
+    private volatile Instant instant;
+    private volatile int failures;
+
+    MutableClock() {
+        this(Instant.parse("2026-01-01T00:00:00Z"), ZoneOffset.UTC);
+    }
+
+    MutableClock(Instant instant, ZoneId zone) {
+        this.instant = instant;
+        this.zone = zone;
+    }
+
+    void advance(Duration duration) {
+        instant = instant.plus(duration);
+    }
+
+    /**
+     * Makes the next reads of the clock throw, to simulate a failing time source.
+     */
+    void failNext(int times) {
+        failures = times;
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public synchronized Instant instant() {
+        if (failures > 0) {
+            failures--;
+            throw new IllegalStateException("Clock unavailable");
+        }
+        return instant;
+    }
+}
@@ -0,0 +1,186 @@
+package notes_app;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class NoteServiceStarterTest {
+
+    private NoteService noteService;
+
+    @BeforeEach
+    void setUp() {
+        noteService = new NoteService();
+    }
+
+    private static Note persistedNote(long id, String title) {
+        LocalDateTime time = LocalDateTime.now();
+        return new Note(id, title, "Persisted content", time, time);
+    }
+
+    @Test
+    void testStartLoadsAllSources() {
+        List<Supplier<Collection<Note>>> sources = Arrays.asList(
+                () -> Arrays.asList(persistedNote(1L, "First"), persistedNote(2L, "Second")),
+                () -> Collections.singletonList(persistedNote(5L, "Fifth")));
+        NoteServiceStarter starter = new NoteServiceStarter();
+        
+        StartupReport report = starter.start(noteService, sources);
+        
+        assertEquals(3, report.getLoadedNotes());
+        assertEquals(3, noteService.getNoteCount());
+        assertEquals("Fifth", noteService.findNoteById(5L).getTitle());
+        assertEquals(6L, noteService.addNote("Next", "Content").getId());
+    }
+
+    @Test
+    void testStartWithoutWarmUp() {
+        NoteServiceStarter starter = new NoteServiceStarter();
+        
+        assertFalse(starter.isReady());
+        StartupReport report = starter.start(noteService, Collections.emptyList());
+        
+        assertTrue(starter.isReady());
+        assertEquals(0, report.getLoadedNotes());
+        assertEquals(0, report.getWarmUpRounds());
+        assertNull(report.getTimeToSteadyState());
+        assertNotNull(report.getLoadTime());
+        assertNotNull(report.getTimeToFirstRequest());
+    }
+
+    @Test
+    void testStartWithWarmUp() {
+        List<Supplier<Collection<Note>>> sources = Collections.singletonList(
+                () -> Collections.singletonList(persistedNote(1L, "First")));
+        NoteServiceStarter starter = new NoteServiceStarter(50);
+        
+        StartupReport report = starter.start(noteService, sources);
+        
+        assertTrue(starter.isReady());
+        assertTrue(report.getWarmUpRounds() >= 1 && report.getWarmUpRounds() <= 50);
+        assertNotNull(report.getWarmUpTime());
+        // Warm-up runs on a scratch service and leaves the real one untouched
+        assertEquals(1, noteService.getNoteCount());
+        assertEquals(2L, noteService.addNote("Second", "Content").getId());
+    }
+
+    @Test
+    void testSteadyStateNeedsSeveralStableRounds() {
+        StartupReport report = new NoteServiceStarter(2).start(noteService, Collections.emptyList());
+        
+        assertEquals(2, report.getWarmUpRounds());
+        assertNull(report.getTimeToSteadyState());
+    }
+
+    @Test
+    void testSteadyStateReachedWhenRoundsStopImproving() {
+        NoteServiceStarter.SteadyStateDetector detector = new NoteServiceStarter.SteadyStateDetector();
+        
+        assertFalse(detector.record(100));
+        assertFalse(detector.record(50));
+        assertFalse(detector.record(48));
+        assertFalse(detector.record(49));
+        assertTrue(detector.record(47));
+    }
+
+    @Test
+    void testSteadyStateNotReachedWhileRoundsKeepImproving() {
+        NoteServiceStarter.SteadyStateDetector detector = new NoteServiceStarter.SteadyStateDetector();
+        long roundTime = 1_000_000;
+        
+        for (int i = 0; i < 20; i++) {
+            assertFalse(detector.record(roundTime));
+            roundTime = roundTime * 8 / 10;
+        }
+    }
+
+    @Test
+    void testSteadyStateResetByClearlyFasterRound() {
+        NoteServiceStarter.SteadyStateDetector detector = new NoteServiceStarter.SteadyStateDetector();
+        
+        assertFalse(detector.record(100));
+        assertFalse(detector.record(100));
+        assertFalse(detector.record(100));
+        assertFalse(detector.record(50));
+        assertFalse(detector.record(50));
+        assertFalse(detector.record(50));
+        assertTrue(detector.record(50));
+    }
+
+    @Test
+    void testTimesMeasuredFromJvmStart() {
+        long uptimeBefore = ManagementFactory.getRuntimeMXBean().getUptime();
+        
+        StartupReport report = new NoteServiceStarter().start(noteService, Collections.emptyList());
+        
+        assertTrue(report.getTimeToFirstRequest().toMillis() >= uptimeBefore);
+    }
+
+    @Test
+    void testStartWithDuplicateIdsAcrossSources() {
+        List<Supplier<Collection<Note>>> sources = Arrays.asList(
+                () -> Collections.singletonList(persistedNote(1L, "First")),
+                () -> Collections.singletonList(persistedNote(1L, "Other")));
+        NoteServiceStarter starter = new NoteServiceStarter();
+        
+        assertThrows(IllegalArgumentException.class, () -> starter.start(noteService, sources));
+        assertEquals(0, noteService.getNoteCount());
+        assertFalse(starter.isReady());
+    }
+
+    @Test
+    void testStartWithFailingSource() {
+        List<Supplier<Collection<Note>>> sources = Collections.singletonList(() -> {
+            throw new IllegalStateException("Disk unavailable");
+        });
+        NoteServiceStarter starter = new NoteServiceStarter();
+        
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> {
+            starter.start(noteService, sources);
+        });
+        
+        assertEquals("Disk unavailable", e.getCause().getMessage());
+        assertFalse(starter.isReady());
+    }
+
+    @Test
+    void testStartWithSourceReturningNull() {
+        List<Supplier<Collection<Note>>> sources = Arrays.asList(
+                () -> Collections.singletonList(persistedNote(1L, "First")),
+                () -> null);
+        NoteServiceStarter starter = new NoteServiceStarter();
+        
+        assertThrows(IllegalStateException.class, () -> starter.start(noteService, sources));
+        assertEquals(0, noteService.getNoteCount());
+        assertFalse(starter.isReady());
+    }
+
+    @Test
+    void testStartWithInvalidArguments() {
+        NoteServiceStarter starter = new NoteServiceStarter();
+        
+        assertThrows(IllegalArgumentException.class, () -> starter.start(null, Collections.emptyList()));
+        assertThrows(IllegalArgumentException.class, () -> starter.start(noteService, null));
+        assertThrows(IllegalArgumentException.class, () -> new NoteServiceStarter(-1));
+    }
+
+    @Test
+    void testReportToString() {
+        StartupReport report = new NoteServiceStarter().start(noteService, Collections.emptyList());
+        
+        assertTrue(report.toString().contains("loadedNotes=0"));
+    }
+}
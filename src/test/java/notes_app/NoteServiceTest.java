@@ -1,23 +1,40 @@
 package notes_app;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 class NoteServiceTest {
 
+    private MutableClock clock;
     private NoteService noteService;
 
     @BeforeEach
     void setUp() {
-        noteService = new NoteService();
+        clock = new MutableClock();
+        noteService = new NoteService(ExpiryBasis.CREATED_ON, clock, Duration.ofHours(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        noteService.close();
     }
 
     @Test
@@ -72,6 +89,83 @@ class NoteServiceTest {
         assertEquals("Test Title", note.getTitle());
     }
 
+    @Test
+    void testLoadNotes() {
+        LocalDateTime time = LocalDateTime.now().minusDays(1);
+        Note first = new Note(3L, "First", "Content", time, time);
+        Note second = new Note(7L, "Second", "Content", time, time);
+        long version = noteService.snapshot().getVersion();
+        
+        noteService.loadNotes(Arrays.asList(first, second));
+        first.setTitle("Mutated");
+        
+        assertEquals(2, noteService.getNoteCount());
+        assertEquals("First", noteService.findNoteById(3L).getTitle());
+        assertEquals(version + 1, noteService.snapshot().getVersion());
+        assertEquals(time, noteService.findNoteById(3L).getCreatedOn());
+        assertEquals(8L, noteService.addNote("Next", "Content").getId());
+    }
+
+    @Test
+    void testLoadNotesSchedulesExpiry() {
+        LocalDateTime time = LocalDateTime.now(clock).minusDays(1);
+        Note stale = new Note(1L, "Stale", "Content", time, time);
+        stale.setTimeToLive(Duration.ofHours(1));
+        
+        noteService.loadNotes(Collections.singletonList(stale));
+        
+        assertEquals(1, noteService.evictExpiredNotes());
+        assertEquals(0, noteService.getNoteCount());
+    }
+
+    @Test
+    void testLoadNotesWithInvalidNotes() {
+        LocalDateTime time = LocalDateTime.now();
+        
+        assertThrows(IllegalArgumentException.class, () -> noteService.loadNotes(null));
+        assertThrows(IllegalArgumentException.class, () -> {
+            noteService.loadNotes(Collections.singletonList(null));
+        });
+        assertThrows(IllegalArgumentException.class, () -> {
+            noteService.loadNotes(Collections.singletonList(new Note("Title", "Content")));
+        });
+        assertThrows(IllegalArgumentException.class, () -> {
+            noteService.loadNotes(Collections.singletonList(new Note(1L, null, "Content", time, time)));
+        });
+        assertThrows(IllegalArgumentException.class, () -> {
+            noteService.loadNotes(Collections.singletonList(new Note(1L, "Title", "Content", null, time)));
+        });
+        assertThrows(IllegalArgumentException.class, () -> {
+            noteService.loadNotes(Collections.singletonList(new Note(1L, "Title", "Content", time, null)));
+        });
+        assertThrows(IllegalArgumentException.class, () -> {
+            noteService.loadNotes(Arrays.asList(
+                    new Note(1L, "Title", "Content", time, time),
+                    new Note(1L, "Other", "Content", time, time)));
+        });
+        assertEquals(0, noteService.getNoteCount());
+    }
+
+    @Test
+    void testLoadNotesWithInvalidTimeToLive() {
+        LocalDateTime time = LocalDateTime.now(clock);
+        Note valid = new Note(1L, "Valid", "Content", time, time);
+        Note invalid = new Note(2L, "Invalid", "Content", time, time);
+        invalid.setTimeToLive(Duration.ZERO);
+        
+        assertThrows(IllegalArgumentException.class, () -> {
+            noteService.loadNotes(Arrays.asList(valid, invalid));
+        });
+        invalid.setTimeToLive(Duration.ofMinutes(-1));
+        assertThrows(IllegalArgumentException.class, () -> {
+            noteService.loadNotes(Arrays.asList(valid, invalid));
+        });
+        
+        // Nothing is stored when any note fails validation
+        assertEquals(0, noteService.getNoteCount());
+        assertEquals(0, noteService.snapshot().getVersion());
+    }
+
     @Test
     void testUpdateNote() {
         Note originalNote = noteService.addNote("Original Title", "Original Content");
@@ -227,6 +321,54 @@ class NoteServiceTest {
         assertTrue(allNotes.isEmpty());
     }
 
+    @Test
+    void testGetNotes() {
+        noteService.addNote("Title 1", "Content 1");
+        noteService.addNote("Title 2", "Content 2");
+        noteService.addNote("Title 3", "Content 3");
+        
+        List<Note> page = noteService.getNotes(1, 5);
+        
+        assertEquals(2, page.size());
+        assertEquals(2L, page.get(0).getId());
+        assertEquals(3L, page.get(1).getId());
+    }
+
+    @Test
+    void testManyWrites() {
+        int count = 50_000;
+        
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            for (int i = 0; i < count; i++) {
+                noteService.addNote("Title " + i, "Content " + i);
+            }
+            for (long id = 1; id <= count; id += 2) {
+                noteService.updateNote(id, null, "Updated");
+            }
+            for (long id = 2; id <= count; id += 2) {
+                noteService.deleteNote(id);
+            }
+        });
+        
+        assertEquals(count / 2, noteService.getNoteCount());
+        assertEquals("Updated", noteService.findNoteById(1L).getContent());
+        assertNull(noteService.findNoteById(2L));
+        assertEquals(49_999L, noteService.getNotes(count / 2 - 1, 10).get(0).getId());
+    }
+
+    @Test
+    void testReturnedNotesAreCopies() {
+        Note added = noteService.addNote("Title", "Content");
+        
+        added.setTitle("Mutated");
+        noteService.findNoteById(added.getId()).setContent("Mutated");
+        noteService.updateNote(added.getId(), null, "Updated").setTitle("Mutated");
+        
+        Note stored = noteService.findNoteById(added.getId());
+        assertEquals("Title", stored.getTitle());
+        assertEquals("Updated", stored.getContent());
+    }
+
     @Test
     void testGetNoteCount() {
         assertEquals(0, noteService.getNoteCount());
@@ -264,4 +406,287 @@ class NoteServiceTest {
         assertEquals(2L, note2.getId());
         assertEquals(3L, note3.getId());
     }
+
+    @Test
+    void testAddNoteWithTimeToLive() {
+        Note note = noteService.addNote("Scratch", "Temporary", Duration.ofHours(1));
+        
+        assertEquals(Duration.ofHours(1), note.getTimeToLive());
+        assertEquals(LocalDateTime.now(clock), note.getCreatedOn());
+        assertNull(noteService.addNote("Title", "Content").getTimeToLive());
+    }
+
+    @Test
+    void testAddNoteWithInvalidTimeToLive() {
+        assertThrows(IllegalArgumentException.class, () -> {
+            noteService.addNote("Scratch", "Temporary", Duration.ZERO);
+        });
+        assertThrows(IllegalArgumentException.class, () -> {
+            noteService.addNote("Scratch", "Temporary", Duration.ofSeconds(-1));
+        });
+        assertEquals(0, noteService.getNoteCount());
+    }
+
+    @Test
+    void testConstructorWithInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new NoteService(null));
+        assertThrows(IllegalArgumentException.class, () -> {
+            new NoteService(ExpiryBasis.CREATED_ON, null, Duration.ofSeconds(1));
+        });
+        assertThrows(IllegalArgumentException.class, () -> {
+            new NoteService(ExpiryBasis.CREATED_ON, clock, Duration.ZERO);
+        });
+        assertThrows(IllegalArgumentException.class, () -> {
+            new NoteService(ExpiryBasis.CREATED_ON, clock, null);
+        });
+    }
+
+    @Test
+    void testExpiredNotesHiddenBeforeEviction() {
+        Note scratch = noteService.addNote("Scratch note", "Temporary", Duration.ofMinutes(5));
+        Note permanent = noteService.addNote("Permanent note", "Forever");
+        NoteSnapshot snapshot = noteService.snapshot();
+        
+        clock.advance(Duration.ofMinutes(5));
+        
+        assertNull(noteService.findNoteById(scratch.getId()));
+        // A snapshot taken before the expiry keeps the note
+        assertNotNull(snapshot.findNoteById(scratch.getId()));
+        assertEquals(1, noteService.findNotesByTitle("note").size());
+        assertEquals(1, noteService.getAllNotes().size());
+        assertEquals(permanent.getId(), noteService.getNotes(0, 10).get(0).getId());
+        assertEquals(1, noteService.getNotes(0, 10).size());
+        assertEquals(1, noteService.getNoteCount());
+        assertThrows(IllegalArgumentException.class, () -> {
+            noteService.updateNote(scratch.getId(), "Revived", null);
+        });
+    }
+
+    @Test
+    void testNotesVisibleBeforeExpiry() {
+        Note scratch = noteService.addNote("Scratch", "Temporary", Duration.ofMinutes(5));
+        
+        clock.advance(Duration.ofMinutes(4));
+        
+        assertNotNull(noteService.findNoteById(scratch.getId()));
+        assertEquals(1, noteService.getNoteCount());
+        assertEquals(1, noteService.getNotes(0, 10).size());
+    }
+
+    @Test
+    void testEvictExpiredNotes() {
+        Note scratch = noteService.addNote("Scratch", "Temporary", Duration.ofMinutes(1));
+        Note session = noteService.addNote("Session", "Long lived", Duration.ofHours(1));
+        Note permanent = noteService.addNote("Permanent", "Forever");
+        
+        clock.advance(Duration.ofMinutes(1));
+        
+        assertEquals(1, noteService.evictExpiredNotes());
+        assertNull(noteService.storedNotes().get(scratch.getId()));
+        assertNotNull(noteService.findNoteById(session.getId()));
+        assertNotNull(noteService.findNoteById(permanent.getId()));
+        assertEquals(2, noteService.getNoteCount());
+    }
+
+    @Test
+    void testEvictExpiredNotesNothingDue() {
+        noteService.addNote("Session", "Long lived", Duration.ofHours(1));
+        long version = noteService.snapshot().getVersion();
+        
+        assertEquals(0, noteService.evictExpiredNotes());
+        assertEquals(version, noteService.snapshot().getVersion());
+    }
+
+    @Test
+    void testEvictExpiredNotesSkipsDeletedNotes() {
+        Note scratch = noteService.addNote("Scratch", "Temporary", Duration.ofMinutes(1));
+        noteService.deleteNote(scratch.getId());
+        
+        clock.advance(Duration.ofMinutes(1));
+        
+        assertEquals(0, noteService.evictExpiredNotes());
+    }
+
+    @Test
+    void testDeleteExpiredNote() {
+        Note scratch = noteService.addNote("Scratch", "Temporary", Duration.ofMinutes(1));
+        
+        clock.advance(Duration.ofMinutes(1));
+        
+        assertFalse(noteService.deleteNote(scratch.getId()));
+        assertNull(noteService.storedNotes().get(scratch.getId()));
+    }
+
+    @Test
+    void testUpdateExtendsExpiryWithUpdatedOnBasis() {
+        try (NoteService service = new NoteService(ExpiryBasis.UPDATED_ON, clock, Duration.ofHours(1))) {
+            Note note = service.addNote("Session", "Content", Duration.ofMinutes(10));
+            
+            clock.advance(Duration.ofMinutes(8));
+            service.updateNote(note.getId(), null, "Touched");
+            clock.advance(Duration.ofMinutes(5));
+            
+            assertEquals(0, service.evictExpiredNotes());
+            assertNotNull(service.findNoteById(note.getId()));
+            
+            clock.advance(Duration.ofMinutes(5));
+            
+            assertNull(service.findNoteById(note.getId()));
+            // The read removed the expired note from storage
+            assertNull(service.storedNotes().get(note.getId()));
+            assertEquals(0, service.evictExpiredNotes());
+        }
+    }
+
+    @Test
+    void testUpdateWithoutChangesKeepsExpiryWithUpdatedOnBasis() {
+        try (NoteService service = new NoteService(ExpiryBasis.UPDATED_ON, clock, Duration.ofHours(1))) {
+            Note note = service.addNote("Session", "Content", Duration.ofMinutes(10));
+            
+            clock.advance(Duration.ofMinutes(8));
+            service.updateNote(note.getId(), null, null);
+            clock.advance(Duration.ofMinutes(2));
+            
+            assertNull(service.findNoteById(note.getId()));
+        }
+    }
+
+    @Test
+    void testUpdateKeepsExpiryWithCreatedOnBasis() {
+        Note note = noteService.addNote("Scratch", "Content", Duration.ofMinutes(10));
+        
+        clock.advance(Duration.ofMinutes(8));
+        noteService.updateNote(note.getId(), null, "Touched");
+        clock.advance(Duration.ofMinutes(2));
+        
+        assertNull(noteService.findNoteById(note.getId()));
+        assertNull(noteService.storedNotes().get(note.getId()));
+    }
+
+    @Test
+    void testClearAllNotesClearsExpiryQueue() {
+        noteService.addNote("Scratch", "Temporary", Duration.ofMinutes(1));
+        noteService.clearAllNotes();
+        Note note = noteService.addNote("Permanent", "Forever");
+        
+        clock.advance(Duration.ofMinutes(1));
+        
+        assertEquals(0, noteService.evictExpiredNotes());
+        assertNotNull(noteService.findNoteById(note.getId()));
+    }
+
+    @Test
+    void testBackgroundEvictionStartsWithFirstExpiringNote() {
+        try (NoteService service = new NoteService(ExpiryBasis.CREATED_ON, clock, Duration.ofMillis(10))) {
+            Note scratch = service.addNote("Scratch", "Temporary", Duration.ofMinutes(1));
+            clock.advance(Duration.ofMinutes(1));
+            
+            awaitEviction(service, scratch.getId());
+            
+            assertNull(service.storedNotes().get(scratch.getId()));
+        }
+    }
+
+    @Test
+    void testBackgroundEvictionSurvivesFailedRun() {
+        List<Throwable> reported = new CopyOnWriteArrayList<>();
+        Thread.UncaughtExceptionHandler previous = Thread.getDefaultUncaughtExceptionHandler();
+        Thread.setDefaultUncaughtExceptionHandler((thread, e) -> reported.add(e));
+        try (NoteService service = new NoteService(ExpiryBasis.CREATED_ON, clock, Duration.ofMillis(10))) {
+            Note scratch = service.addNote("Scratch", "Temporary", Duration.ofMinutes(1));
+            clock.advance(Duration.ofMinutes(1));
+            clock.failNext(1);
+            
+            awaitEviction(service, scratch.getId());
+            
+            assertNull(service.storedNotes().get(scratch.getId()));
+            assertEquals(1, reported.size());
+            assertTrue(reported.get(0) instanceof IllegalStateException);
+        } finally {
+            Thread.setDefaultUncaughtExceptionHandler(previous);
+        }
+    }
+
+    @Test
+    void testExpirySpansRealTimeAcrossDaylightSavingChange() {
+        // 01:30 EST, half an hour before clocks in New York jump to 03:00 EDT
+        MutableClock newYork = new MutableClock(Instant.parse("2026-03-08T06:30:00Z"), ZoneId.of("America/New_York"));
+        try (NoteService service = new NoteService(ExpiryBasis.CREATED_ON, newYork, Duration.ofHours(1))) {
+            Note note = service.addNote("Session", "Content", Duration.ofHours(1));
+            
+            newYork.advance(Duration.ofMinutes(30));
+            
+            assertNotNull(service.findNoteById(note.getId()));
+            
+            newYork.advance(Duration.ofMinutes(30));
+            
+            assertNull(service.findNoteById(note.getId()));
+        }
+    }
+
+    @Test
+    void testExpiryIndexHoldsOneEntryPerNote() {
+        try (NoteService service = new NoteService(ExpiryBasis.UPDATED_ON, clock, Duration.ofHours(1))) {
+            Note hot = service.addNote("Hot", "Content", Duration.ofHours(1));
+            Note deleted = service.addNote("Deleted", "Content", Duration.ofMinutes(1));
+            for (int i = 0; i < 100; i++) {
+                service.updateNote(hot.getId(), null, "Content " + i);
+            }
+            service.deleteNote(deleted.getId());
+            
+            assertEquals(1, service.pendingExpiryCount());
+            // The deleted note's expiry no longer counts as the earliest one
+            assertFalse(service.snapshot().hasExpiredBy(clock.instant().plus(Duration.ofMinutes(30))));
+        }
+    }
+
+    @Test
+    void testLoadNotesReplacesExpiry() {
+        Note note = noteService.addNote("Scratch", "Temporary", Duration.ofMinutes(1));
+        LocalDateTime time = LocalDateTime.now(clock);
+        
+        noteService.loadNotes(Collections.singletonList(new Note(note.getId(), "Loaded", "Content", time, time)));
+        clock.advance(Duration.ofMinutes(1));
+        
+        assertEquals(0, noteService.pendingExpiryCount());
+        assertNotNull(noteService.findNoteById(note.getId()));
+    }
+
+    @Test
+    void testSeededServiceSharesNotesWithoutChangingThem() {
+        Note note = noteService.addNote("Shared", "Content");
+        
+        try (NoteService scratch = NoteService.seededWith(noteService.snapshot().notes())) {
+            assertSame(noteService.storedNotes(), scratch.storedNotes());
+            assertEquals(note.getId() + 1, scratch.addNote("Scratch", "Content").getId());
+            scratch.updateNote(note.getId(), "Changed", null);
+            scratch.deleteNote(note.getId());
+        }
+        
+        assertEquals("Shared", noteService.findNoteById(note.getId()).getTitle());
+        assertEquals(1, noteService.getNoteCount());
+    }
+
+    @Test
+    void testNoBackgroundEvictionAfterClose() {
+        NoteService service = new NoteService(ExpiryBasis.CREATED_ON, clock, Duration.ofMillis(10));
+        service.close();
+        Note scratch = service.addNote("Scratch", "Temporary", Duration.ofMinutes(1));
+        clock.advance(Duration.ofMinutes(1));
+        
+        assertNotNull(service.storedNotes().get(scratch.getId()));
+        assertEquals(1, service.evictExpiredNotes());
+        assertNull(service.findNoteById(scratch.getId()));
+    }
+
+    private static void awaitEviction(NoteService service, Long id) {
+        for (int i = 0; i < 500 && service.storedNotes().get(id) != null; i++) {
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
 }
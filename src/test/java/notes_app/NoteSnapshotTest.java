@@ -0,0 +1,176 @@
+package notes_app;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class NoteSnapshotTest {
+
+    private NoteService noteService;
+
+    @BeforeEach
+    void setUp() {
+        noteService = new NoteService();
+    }
+
+    @Test
+    void testSnapshotUnaffectedByAdd() {
+        noteService.addNote("Title 1", "Content 1");
+        NoteSnapshot snapshot = noteService.snapshot();
+
+        noteService.addNote("Title 2", "Content 2");
+
+        assertEquals(1, snapshot.getNoteCount());
+        assertEquals(1, snapshot.getAllNotes().size());
+        assertEquals(1, snapshot.findNotesByTitle("Title").size());
+        assertEquals(2, noteService.getNoteCount());
+    }
+
+    @Test
+    void testSnapshotUnaffectedByUpdate() {
+        Note note = noteService.addNote("Original Title", "Original Content");
+        NoteSnapshot snapshot = noteService.snapshot();
+
+        noteService.updateNote(note.getId(), "New Title", "New Content");
+
+        Note frozen = snapshot.findNoteById(note.getId());
+        assertEquals("Original Title", frozen.getTitle());
+        assertEquals("Original Content", frozen.getContent());
+        assertEquals(1, snapshot.findNotesByTitle("original").size());
+        assertEquals("New Title", noteService.findNoteById(note.getId()).getTitle());
+    }
+
+    @Test
+    void testSnapshotUnaffectedByDeleteAndClear() {
+        Note note = noteService.addNote("Title 1", "Content 1");
+        NoteSnapshot snapshot = noteService.snapshot();
+
+        noteService.deleteNote(note.getId());
+        noteService.clearAllNotes();
+
+        assertNotNull(snapshot.findNoteById(note.getId()));
+        assertEquals(1, snapshot.getNoteCount());
+        assertNull(noteService.findNoteById(note.getId()));
+    }
+
+    @Test
+    void testVersionIncreasesOnWrite() {
+        long initial = noteService.snapshot().getVersion();
+
+        Note note = noteService.addNote("Title 1", "Content 1");
+        long afterAdd = noteService.snapshot().getVersion();
+        noteService.updateNote(note.getId(), "Title 2", null);
+        long afterUpdate = noteService.snapshot().getVersion();
+
+        assertTrue(afterAdd > initial);
+        assertTrue(afterUpdate > afterAdd);
+    }
+
+    @Test
+    void testVersionUnchangedOnFailedDelete() {
+        long initial = noteService.snapshot().getVersion();
+
+        noteService.deleteNote(999L);
+
+        assertEquals(initial, noteService.snapshot().getVersion());
+    }
+
+    @Test
+    void testSnapshotUnaffectedByMutatingReturnedNotes() {
+        Note added = noteService.addNote("Original Title", "Original Content");
+        NoteSnapshot snapshot = noteService.snapshot();
+
+        added.setTitle("Mutated");
+        snapshot.findNoteById(added.getId()).setTitle("Mutated");
+        snapshot.getAllNotes().get(0).setContent("Mutated");
+        snapshot.findNotesByTitle("original").get(0).setContent("Mutated");
+        snapshot.getNotes(0, 1).get(0).setTitle("Mutated");
+
+        assertEquals("Original Title", snapshot.findNoteById(added.getId()).getTitle());
+        assertEquals("Original Content", snapshot.findNoteById(added.getId()).getContent());
+        assertEquals("Original Title", noteService.findNoteById(added.getId()).getTitle());
+    }
+
+    @Test
+    void testQueriesReturnModifiableLists() {
+        noteService.addNote("Title 2", "Content 2");
+        noteService.addNote("Title 1", "Content 1");
+        NoteSnapshot snapshot = noteService.snapshot();
+
+        List<Note> allNotes = snapshot.getAllNotes();
+        allNotes.sort((a, b) -> a.getTitle().compareTo(b.getTitle()));
+        snapshot.findNotesByTitle("Title").clear();
+        snapshot.getNotes(0, 2).clear();
+
+        assertEquals("Title 1", allNotes.get(0).getTitle());
+        assertEquals(2, snapshot.getAllNotes().size());
+        assertEquals("Title 2", snapshot.getAllNotes().get(0).getTitle());
+    }
+
+    @Test
+    void testGetNotesPages() {
+        for (int i = 1; i <= 5; i++) {
+            noteService.addNote("Title " + i, "Content " + i);
+        }
+        NoteSnapshot snapshot = noteService.snapshot();
+
+        List<Note> firstPage = snapshot.getNotes(0, 2);
+        List<Note> lastPage = snapshot.getNotes(4, 2);
+
+        assertEquals(2, firstPage.size());
+        assertEquals(1L, firstPage.get(0).getId());
+        assertEquals(2L, firstPage.get(1).getId());
+        assertEquals(1, lastPage.size());
+        assertEquals(5L, lastPage.get(0).getId());
+    }
+
+    @Test
+    void testGetNotesBeyondEnd() {
+        noteService.addNote("Title 1", "Content 1");
+
+        assertTrue(noteService.snapshot().getNotes(10, 5).isEmpty());
+        assertEquals(1, noteService.snapshot().getNotes(0, Integer.MAX_VALUE).size());
+    }
+
+    @Test
+    void testGetNotesWithNegativeArguments() {
+        NoteSnapshot snapshot = noteService.snapshot();
+
+        assertThrows(IllegalArgumentException.class, () -> snapshot.getNotes(-1, 5));
+        assertThrows(IllegalArgumentException.class, () -> snapshot.getNotes(0, -1));
+    }
+
+    @Test
+    void testPagingAcrossExpiryOnOneSnapshot() {
+        MutableClock clock = new MutableClock();
+        try (NoteService service = new NoteService(ExpiryBasis.CREATED_ON, clock, Duration.ofHours(1))) {
+            Note a = service.addNote("A", "Content");
+            Note b = service.addNote("B", "Content", Duration.ofMinutes(1));
+            Note c = service.addNote("C", "Content");
+            NoteSnapshot snapshot = service.snapshot();
+
+            List<Note> firstPage = snapshot.getNotes(0, 2);
+            clock.advance(Duration.ofMinutes(1));
+            List<Note> secondPage = snapshot.getNotes(2, 2);
+
+            assertEquals(a.getId(), firstPage.get(0).getId());
+            assertEquals(b.getId(), firstPage.get(1).getId());
+            assertEquals(1, secondPage.size());
+            assertEquals(c.getId(), secondPage.get(0).getId());
+            assertEquals(3, snapshot.getNoteCount());
+            assertNotNull(snapshot.findNoteById(b.getId()));
+
+            NoteSnapshot later = service.snapshot();
+            assertEquals(2, later.getNoteCount());
+            assertEquals(c.getId(), later.getNotes(1, 2).get(0).getId());
+            assertTrue(later.getAsOf().isAfter(snapshot.getAsOf()));
+        }
+    }
+}
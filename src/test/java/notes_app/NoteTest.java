@@ -4,6 +4,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 
 class NoteTest {
@@ -133,4 +134,28 @@ class NoteTest {
         
         assertEquals(note1.hashCode(), note2.hashCode()); // Same ID should have same hash code
     }
+
+    @Test
+    void testTimeToLive() {
+        assertNull(note.getTimeToLive());
+        
+        note.setTimeToLive(Duration.ofMinutes(30));
+        
+        assertEquals(Duration.ofMinutes(30), note.getTimeToLive());
+    }
+
+    @Test
+    void testCopyConstructor() {
+        Note original = new Note(1L, "Title", "Content", testTime, testTime);
+        original.setTimeToLive(Duration.ofMinutes(5));
+        
+        Note copy = new Note(original);
+        copy.setTitle("Changed");
+        
+        assertEquals(original, copy);
+        assertEquals("Title", original.getTitle());
+        assertEquals("Content", copy.getContent());
+        assertEquals(testTime, copy.getCreatedOn());
+        assertEquals(Duration.ofMinutes(5), copy.getTimeToLive());
+    }
 }
@@ -0,0 +1,140 @@
+package notes_app;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import org.junit.jupiter.api.Test;
+
+class NoteTreeTest {
+
+    private static Note note(long id) {
+        LocalDateTime time = LocalDateTime.now();
+        return new Note(id, "Title " + id, "Content", time, time);
+    }
+
+    private static List<Long> ids(NoteTree tree) {
+        List<Long> ids = new ArrayList<>();
+        tree.forEach(note -> ids.add(note.getId()));
+        return ids;
+    }
+
+    @Test
+    void testPutAndGet() {
+        NoteTree tree = NoteTree.EMPTY.put(note(2)).put(note(1)).put(note(3));
+        
+        assertEquals(3, tree.size());
+        assertEquals("Title 1", tree.get(1L).getTitle());
+        assertNull(tree.get(4L));
+        assertNull(tree.get(null));
+    }
+
+    @Test
+    void testPutReplacesSameId() {
+        Note replacement = note(1);
+        replacement.setTitle("Replaced");
+        
+        NoteTree tree = NoteTree.EMPTY.put(note(1)).put(replacement);
+        
+        assertEquals(1, tree.size());
+        assertEquals("Replaced", tree.get(1L).getTitle());
+    }
+
+    @Test
+    void testOlderVersionsUnchanged() {
+        NoteTree first = NoteTree.EMPTY.put(note(1));
+        NoteTree second = first.put(note(2));
+        NoteTree third = second.remove(1L);
+        
+        assertEquals(1, first.size());
+        assertNull(first.get(2L));
+        assertEquals(2, second.size());
+        assertEquals(1, third.size());
+        assertNull(third.get(1L));
+    }
+
+    @Test
+    void testRemoveMissingReturnsSameTree() {
+        NoteTree tree = NoteTree.EMPTY.put(note(1));
+        
+        assertSame(tree, tree.remove(2L));
+        assertSame(tree, tree.remove(null));
+    }
+
+    @Test
+    void testForEachInRange() {
+        NoteTree tree = NoteTree.EMPTY;
+        for (long id = 1; id <= 10; id++) {
+            tree = tree.put(note(id));
+        }
+        List<Long> ids = new ArrayList<>();
+        
+        tree.forEachInRange(3, 7, note -> ids.add(note.getId()));
+        
+        assertEquals(List.of(4L, 5L, 6L, 7L), ids);
+    }
+
+    @Test
+    void testPutAllBuildsBalancedTree() {
+        List<Note> sorted = new ArrayList<>();
+        for (long id = 1; id <= 1_000; id++) {
+            sorted.add(note(id));
+        }
+        
+        NoteTree tree = NoteTree.EMPTY.putAll(sorted);
+        List<Long> page = new ArrayList<>();
+        tree.forEachInRange(500, 502, note -> page.add(note.getId()));
+        
+        assertEquals(1_000, tree.size());
+        assertEquals(1_000L, tree.lastId());
+        assertEquals(List.of(501L, 502L), page);
+        // Later puts still rebalance on top of the built tree
+        assertEquals(1_001, tree.put(note(1_001)).size());
+    }
+
+    @Test
+    void testPutAllMergesWithExistingNotes() {
+        Note replacement = note(2);
+        replacement.setTitle("Replaced");
+        NoteTree tree = NoteTree.EMPTY.put(note(1)).put(note(2)).put(note(5));
+        
+        NoteTree merged = tree.putAll(List.of(replacement, note(3), note(7)));
+        
+        assertEquals(List.of(1L, 2L, 3L, 5L, 7L), ids(merged));
+        assertEquals("Replaced", merged.get(2L).getTitle());
+        assertEquals(3, tree.size());
+        assertSame(tree, tree.putAll(List.of()));
+        assertNull(NoteTree.EMPTY.lastId());
+    }
+
+    @Test
+    void testMatchesTreeMapUnderRandomOperations() {
+        Random random = new Random(42);
+        TreeMap<Long, Note> expected = new TreeMap<>();
+        NoteTree tree = NoteTree.EMPTY;
+        
+        for (int i = 0; i < 5_000; i++) {
+            long id = random.nextInt(500);
+            if (random.nextBoolean()) {
+                Note note = note(id);
+                expected.put(id, note);
+                tree = tree.put(note);
+            } else {
+                expected.remove(id);
+                tree = tree.remove(id);
+            }
+        }
+        
+        assertEquals(expected.size(), tree.size());
+        assertEquals(new ArrayList<>(expected.keySet()), ids(tree));
+        int from = expected.size() / 3;
+        List<Long> page = new ArrayList<>();
+        tree.forEachInRange(from, from + 20, note -> page.add(note.getId()));
+        assertEquals(new ArrayList<>(expected.keySet()).subList(from, from + 20), page);
+    }
+}